@@ -10,8 +10,23 @@ import java.util.List;
 
 public interface PostService {
     PostResponseDto createPost(PostRequestDto requestDto);
+    PostResponseDto createPost(PostRequestDto requestDto, String idempotencyKey);
     Page<PostResponseDto> getAllPosts(Pageable pageable);
+    Page<PostResponseDto> getPostPreviews(Pageable pageable);
+    PostResponseDto getPost(Long postId);
+
+    /**
+     * Posts with an id greater than {@code afterId}, in id order. Ids are assigned at
+     * insert, not at commit, so a post with a lower id can commit after a client has
+     * already advanced past it; later polls never return that post. Clients that must
+     * not miss posts should follow the SSE stream, which publishes after commit, and
+     * re-read the feed after reconnecting.
+     */
+    List<PostResponseDto> getPostsSince(Long afterId, int limit);
 
 
     void deletePost(Long postId, String userId);
+
+    void recordView(Long postId);
+    void likePost(Long postId);
 }
\ No newline at end of file
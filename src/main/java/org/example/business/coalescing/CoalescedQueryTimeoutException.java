@@ -0,0 +1,13 @@
+package org.example.business.coalescing;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Raised to followers whose shared query outlived the wait bound; the database is already struggling
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class CoalescedQueryTimeoutException extends RuntimeException {
+
+    public CoalescedQueryTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.business.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for read queries: concurrent calls with an equal key share one
+ * execution of the loader. Followers wait at most {@code post.singleflight.max-wait}
+ * and then fail with {@link CoalescedQueryTimeoutException} (503) rather than
+ * running the query themselves, which would stampede an already slow database.
+ */
+@Slf4j
+@Component
+public class RequestCoalescer {
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Duration maxWait;
+
+    public RequestCoalescer(
+            MeterRegistry meterRegistry,
+            @Value("${post.singleflight.max-wait:2s}") Duration maxWait) {
+        this.meterRegistry = meterRegistry;
+        this.maxWait = maxWait;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String query, Object key, Supplier<T> loader) {
+        Key flightKey = new Key(query, key);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(flightKey, mine);
+
+        if (leader == null) {
+            counter(query, "executed").increment();
+            try {
+                T result = loader.get();
+                mine.complete(result);
+                return result;
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(flightKey, mine);
+            }
+        }
+
+        try {
+            Object result = leader.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            counter(query, "coalesced").increment();
+            return (T) result;
+        } catch (TimeoutException e) {
+            log.warn("Coalesced {} query exceeded {}, failing fast", query, maxWait);
+            counter(query, "timeout").increment();
+            throw new CoalescedQueryTimeoutException("Timed out waiting for " + query + " query");
+        } catch (ExecutionException e) {
+            counter(query, "coalesced").increment();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for coalesced " + query + " query", e);
+        }
+    }
+
+    private Counter counter(String query, String result) {
+        return Counter.builder("posts.singleflight.requests")
+                .description("Read requests by whether they ran the query or shared an in-flight one")
+                .tag("query", query)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Key(String query, Object key) {
+    }
+}
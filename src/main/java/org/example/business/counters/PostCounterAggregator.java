@@ -0,0 +1,319 @@
+package org.example.business.counters;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.dto.postDTO.PostResponseDto;
+import org.example.persistance.PostCounterRepository;
+import org.example.persistance.entity.PostCounterEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Buffers view and like increments in memory and flushes the aggregated deltas
+ * to post_counters periodically, so reads never issue per-request UPDATEs.
+ * <p>
+ * Increments go to one of several stripes keyed by post id. A flush swaps each
+ * stripe's map under that stripe's write lock, so no increment can land in a
+ * map that is already being written out. Stripe locks only ever guard
+ * in-memory work; no database call runs while one is held.
+ * <p>
+ * Readers load persisted counts first and add pending and in-flight deltas
+ * under their stripes' read locks afterwards. The commit sequence is odd while
+ * a flush commits and retires its maps; a reader that sees it move past its
+ * database read retries, so a delta is never counted twice or missed.
+ * Pending deltas are restored if the flush fails and written out on shutdown.
+ */
+@Slf4j
+@Component
+public class PostCounterAggregator {
+
+    private final PostCounterRepository postCounterRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final Stripe[] stripes;
+    private final AtomicLong commitSequence = new AtomicLong(); // odd while a flush is committing
+    private final ReentrantLock commitLock = new ReentrantLock();
+
+    @Autowired
+    public PostCounterAggregator(PostCounterRepository postCounterRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this(postCounterRepository, transactionManager, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    PostCounterAggregator(PostCounterRepository postCounterRepository,
+                          PlatformTransactionManager transactionManager,
+                          int minStripes) {
+        this.postCounterRepository = postCounterRepository;
+        this.transactionManager = transactionManager;
+
+        int stripeCount = Integer.highestOneBit(Math.max(minStripes, 1) * 2 - 1);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public void incrementViews(Long postId) {
+        add(postId, 1, 0);
+    }
+
+    public void incrementLikes(Long postId) {
+        add(postId, 0, 1);
+    }
+
+    /**
+     * Sets views and likes on each post to the persisted count plus any pending increments.
+     */
+    public void applyCounts(List<PostResponseDto> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = posts.stream().map(PostResponseDto::getId).toList();
+        // Ascending order, matching lockAll(), so readers and the flusher cannot deadlock
+        Set<Integer> stripeIndexes = new TreeSet<>();
+        ids.forEach(id -> stripeIndexes.add(stripeIndex(id)));
+
+        while (true) {
+            long sequence = commitSequence.get();
+            if ((sequence & 1) != 0) {
+                awaitCommit();
+                continue;
+            }
+
+            Map<Long, PostCounterEntity> persisted = postCounterRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(PostCounterEntity::getPostId, Function.identity()));
+
+            List<Lock> held = new ArrayList<>(stripeIndexes.size());
+            try {
+                for (int index : stripeIndexes) {
+                    Lock readLock = stripes[index].lock.readLock();
+                    readLock.lock();
+                    held.add(readLock);
+                }
+
+                // A commit since the database read may have moved deltas from memory into the rows just read
+                if (commitSequence.get() != sequence) {
+                    continue;
+                }
+
+                for (PostResponseDto post : posts) {
+                    PostCounterEntity stored = persisted.get(post.getId());
+                    Stripe stripe = stripes[stripeIndex(post.getId())];
+                    Counts pending = stripe.pending.get(post.getId());
+                    Counts flushing = stripe.flushing.get(post.getId());
+
+                    post.setViews((stored != null ? stored.getViews() : 0) + viewsOf(pending) + viewsOf(flushing));
+                    post.setLikes((stored != null ? stored.getLikes() : 0) + likesOf(pending) + likesOf(flushing));
+                }
+                return;
+            } finally {
+                held.forEach(Lock::unlock);
+            }
+        }
+    }
+
+    /**
+     * Drops buffered increments for a deleted post. If the post is part of a flush
+     * in progress, its counter row is removed once that flush commits.
+     */
+    public void forget(Long postId) {
+        Stripe stripe = stripes[stripeIndex(postId)];
+        Lock writeLock = stripe.lock.writeLock();
+        writeLock.lock();
+        try {
+            stripe.pending.remove(postId);
+            if (stripe.flushing.containsKey(postId)) {
+                stripe.forgotten.add(postId);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${post.counters.flush-interval:PT5S}")
+    public synchronized void flush() {
+        Map<Long, long[]> deltas = swapPending();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        TransactionStatus status = null;
+        RuntimeException failure = null;
+        try {
+            status = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+            postCounterRepository.upsertDeltas(deltas);
+        } catch (RuntimeException e) {
+            failure = e;
+            rollbackQuietly(status);
+        }
+
+        Set<Long> forgotten = new HashSet<>();
+        commitLock.lock();
+        try {
+            commitSequence.incrementAndGet();
+            if (status != null && failure == null) {
+                try {
+                    transactionManager.commit(status);
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+            }
+
+            lockAll();
+            try {
+                retireFlushing(forgotten);
+                if (failure != null) {
+                    // Re-buffered before the locks drop, so readers never see the deltas vanish
+                    deltas.forEach((postId, delta) -> {
+                        if (!forgotten.contains(postId)) {
+                            add(postId, delta[0], delta[1]);
+                        }
+                    });
+                }
+            } finally {
+                unlockAll();
+            }
+        } finally {
+            commitSequence.incrementAndGet();
+            commitLock.unlock();
+        }
+
+        if (failure != null) {
+            log.error("Failed to flush counters for {} posts, keeping them buffered: {}",
+                    deltas.size(), failure.getMessage());
+            return;
+        }
+        log.debug("Flushed counters for {} posts", deltas.size());
+        if (!forgotten.isEmpty()) {
+            // The upsert saw these posts before their deletion committed; drop the rows it re-created
+            try {
+                postCounterRepository.deleteAllByIdInBatch(forgotten);
+            } catch (RuntimeException e) {
+                log.error("Failed to remove counters of {} deleted posts: {}", forgotten.size(), e.getMessage());
+            }
+        }
+    }
+
+    // Readers that arrive mid-commit wait for it rather than read rows the commit is changing
+    private void awaitCommit() {
+        commitLock.lock();
+        commitLock.unlock();
+    }
+
+    private void rollbackQuietly(TransactionStatus status) {
+        if (status == null || status.isCompleted()) {
+            return;
+        }
+        try {
+            transactionManager.rollback(status);
+        } catch (RuntimeException e) {
+            log.warn("Rollback of counter flush failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing buffered post counters before shutdown");
+        flush();
+    }
+
+    private Map<Long, long[]> swapPending() {
+        Map<Long, long[]> deltas = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            Lock writeLock = stripe.lock.writeLock();
+            writeLock.lock();
+            try {
+                stripe.flushing = stripe.pending;
+                stripe.pending = new ConcurrentHashMap<>();
+            } finally {
+                writeLock.unlock();
+            }
+            stripe.flushing.forEach((postId, counts) ->
+                    deltas.put(postId, new long[]{counts.views.sum(), counts.likes.sum()}));
+        }
+        return deltas;
+    }
+
+    // Caller holds every stripe's write lock
+    private void retireFlushing(Set<Long> forgotten) {
+        for (Stripe stripe : stripes) {
+            stripe.flushing = Map.of();
+            forgotten.addAll(stripe.forgotten);
+            stripe.forgotten.clear();
+        }
+    }
+
+    private void add(Long postId, long views, long likes) {
+        Stripe stripe = stripes[stripeIndex(postId)];
+        Lock readLock = stripe.lock.readLock();
+        readLock.lock();
+        try {
+            Counts counts = stripe.pending.computeIfAbsent(postId, id -> new Counts());
+            if (views != 0) {
+                counts.views.add(views);
+            }
+            if (likes != 0) {
+                counts.likes.add(likes);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void lockAll() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.writeLock().lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].lock.writeLock().unlock();
+        }
+    }
+
+    private int stripeIndex(Long postId) {
+        int hash = postId.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    private static long viewsOf(Counts counts) {
+        return counts != null ? counts.views.sum() : 0;
+    }
+
+    private static long likesOf(Counts counts) {
+        return counts != null ? counts.likes.sum() : 0;
+    }
+
+    private static final class Stripe {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Set<Long> forgotten = new HashSet<>(); // guarded by the write lock
+        private volatile Map<Long, Counts> pending = new ConcurrentHashMap<>();
+        private volatile Map<Long, Counts> flushing = Map.of();
+    }
+
+    private static final class Counts {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder likes = new LongAdder();
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.business.dto.postDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostEventDto {
+
+    public static final String CREATED = "post-created";
+    public static final String DELETED = "post-deleted";
+
+    private String type;
+    private Long postId;
+    private PostResponseDto post; // null for deletions
+}
@@ -1,5 +1,6 @@
 package org.example.business.dto.postDTO;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,6 +17,12 @@ public class PostResponseDto {
     private Long id;
     private String userId;
     private String title;
+    // Exactly one of content/preview is set: full reads carry content, preview feeds carry preview only
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String content;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String preview;
     private LocalDateTime createdAt;
+    private long views;
+    private long likes;
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package org.example.business.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.dto.postDTO.PostEventDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process hub fanning committed post events out to SSE subscribers.
+ * Each subscriber has a bounded buffer; a subscriber whose buffer overflows
+ * is disconnected instead of holding back everyone else.
+ * <p>
+ * Publishers only enqueue and never touch an emitter: emitters are written and
+ * completed exclusively by sender threads. A send blocked longer than
+ * {@code post.stream.send-timeout} marks its subscriber dead; the blocked write
+ * itself is bounded by the servlet container's write timeout
+ * ({@code server.tomcat.connection-timeout}).
+ */
+@Slf4j
+@Component
+public class PostEventBroadcaster {
+
+    // Identity-compared marker queued by the heartbeat task
+    private static final PostEventDto HEARTBEAT = new PostEventDto();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+
+    @Autowired
+    public PostEventBroadcaster(
+            @Value("${post.stream.buffer-size:64}") int bufferSize,
+            @Value("${post.stream.max-subscribers:5000}") int maxSubscribers,
+            @Value("${post.stream.timeout-millis:1800000}") long timeoutMillis,
+            @Value("${post.stream.sender-threads:16}") int senderThreads,
+            @Value("${post.stream.send-timeout:10s}") Duration sendTimeout) {
+        this(bufferSize, maxSubscribers, timeoutMillis, sendTimeout, Executors.newFixedThreadPool(senderThreads));
+    }
+
+    PostEventBroadcaster(int bufferSize, int maxSubscribers, long timeoutMillis,
+                         Duration sendTimeout, ExecutorService senders) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.senders = senders;
+    }
+
+    /**
+     * Registers a new subscriber, or returns {@code null} when the hub is full.
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            log.warn("Rejecting stream subscription, {} subscribers connected", subscribers.size());
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> markDead(subscriber));
+        emitter.onTimeout(() -> markDead(subscriber));
+        emitter.onError(e -> markDead(subscriber));
+        subscribers.add(subscriber);
+
+        log.debug("Stream subscriber added, total: {}", subscribers.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostEvent(PostEventDto event) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.buffer.offer(event)) {
+                log.info("Disconnecting slow stream subscriber, buffer of {} events is full", bufferSize);
+                markDead(subscriber);
+            }
+            scheduleDrain(subscriber);
+        }
+    }
+
+    /**
+     * Keeps idle streams alive through proxies and retires subscribers stuck in a send.
+     */
+    @Scheduled(fixedDelayString = "${post.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedNanos;
+            if (started != 0 && now - started > sendTimeoutNanos) {
+                log.info("Disconnecting stream subscriber blocked in send for over {} ms", sendTimeoutNanos / 1_000_000);
+                markDead(subscriber);
+                continue;
+            }
+            // A full buffer means real events are already pending, so a dropped heartbeat is harmless
+            subscriber.buffer.offer(HEARTBEAT);
+            scheduleDrain(subscriber);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            markDead(subscriber);
+            close(subscriber);
+        }
+        senders.shutdownNow();
+    }
+
+    private void markDead(Subscriber subscriber) {
+        subscriber.dead = true;
+        subscribers.remove(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            PostEventDto event;
+            while (!subscriber.dead && (event = subscriber.buffer.poll()) != null) {
+                subscriber.sendStartedNanos = System.nanoTime();
+                subscriber.emitter.send(event == HEARTBEAT
+                        ? SseEmitter.event().comment("heartbeat")
+                        : SseEmitter.event()
+                                .id(String.valueOf(event.getPostId()))
+                                .name(event.getType())
+                                .data(event));
+                subscriber.sendStartedNanos = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Stream subscriber gone: {}", e.getMessage());
+            markDead(subscriber);
+        } finally {
+            subscriber.sendStartedNanos = 0;
+            subscriber.draining.set(false);
+        }
+
+        if (subscriber.dead) {
+            close(subscriber);
+        } else if (!subscriber.buffer.isEmpty()) {
+            // An event may have been queued after the last poll but before the flag was cleared
+            scheduleDrain(subscriber);
+        }
+    }
+
+    // Called from sender threads (or on shutdown), so a blocked client never stalls a publisher
+    private void close(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            subscriber.buffer.clear();
+            try {
+                subscriber.emitter.complete();
+            } catch (RuntimeException e) {
+                log.debug("Error completing stream subscriber: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<PostEventDto> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean dead;
+        private volatile long sendStartedNanos;
+
+        private Subscriber(SseEmitter emitter, Queue<PostEventDto> buffer) {
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.business.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.example.business.dto.postDTO.PostResponseDto;
+import org.example.persistance.IdempotencyKeyRepository;
+import org.example.persistance.entity.IdempotencyKeyEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Tracks Idempotency-Key headers for post creation. Recent responses are served
+ * from a bounded in-memory LRU, concurrent requests with the same key share a
+ * single execution, and the expiring post_idempotency_keys table covers
+ * restarts and other instances.
+ */
+@Slf4j
+@Component
+public class IdempotencyRegistry {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration ttl;
+    private final Cache<String, PostResponseDto> recentResponses;
+    private final ConcurrentMap<String, CompletableFuture<PostResponseDto>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyRegistry(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            @Value("${post.idempotency.ttl:24h}") Duration ttl,
+            @Value("${post.idempotency.max-cached-responses:10000}") long maxCachedResponses) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = ttl;
+        this.recentResponses = Caffeine.newBuilder()
+                .maximumSize(maxCachedResponses)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Runs {@code action} at most once per key across concurrent callers on this
+     * instance; later callers receive the original response. A cached response
+     * that fails {@code stillValid} (e.g. its post was deleted, possibly on another
+     * instance) is dropped and {@code action} decides how to replay the key.
+     */
+    public PostResponseDto execute(String key, Supplier<PostResponseDto> action,
+                                   Predicate<PostResponseDto> stillValid) {
+        PostResponseDto cached = recentResponses.getIfPresent(key);
+        if (cached != null) {
+            if (stillValid.test(cached)) {
+                log.debug("Replaying cached response for idempotency key {}", key);
+                return cached;
+            }
+            recentResponses.invalidate(key);
+        }
+
+        CompletableFuture<PostResponseDto> mine = new CompletableFuture<>();
+        CompletableFuture<PostResponseDto> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            log.debug("Joining in-flight request for idempotency key {}", key);
+            return join(existing);
+        }
+
+        try {
+            PostResponseDto response = action.get();
+            recentResponses.put(key, response);
+            mine.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Returns the post id recorded for {@code key}, dropping the row if it expired.
+     * Must run inside the caller's transaction.
+     */
+    public Optional<Long> findPostId(String key) {
+        return idempotencyKeyRepository.findById(key)
+                .filter(entry -> {
+                    if (entry.getExpiresAt().isAfter(LocalDateTime.now())) {
+                        return true;
+                    }
+                    idempotencyKeyRepository.delete(entry);
+                    idempotencyKeyRepository.flush();
+                    return false;
+                })
+                .map(IdempotencyKeyEntity::getPostId);
+    }
+
+    /**
+     * Records {@code key} in the caller's transaction, so the key and the post commit together.
+     * Returns {@code false} if another transaction recorded the key first.
+     */
+    public boolean record(String key, Long postId) {
+        return idempotencyKeyRepository.insertIfAbsent(key, postId, LocalDateTime.now().plus(ttl)) == 1;
+    }
+
+    @Scheduled(fixedDelayString = "${post.idempotency.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            log.info("Purged {} expired idempotency keys", removed);
+        }
+    }
+
+    private PostResponseDto join(CompletableFuture<PostResponseDto> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
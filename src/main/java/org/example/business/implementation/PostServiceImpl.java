@@ -3,25 +3,87 @@ package org.example.business.implementation;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.business.PostService;
+import org.example.business.coalescing.RequestCoalescer;
+import org.example.business.counters.PostCounterAggregator;
+import org.example.business.dto.postDTO.PostEventDto;
 import org.example.business.dto.postDTO.PostRequestDto;
 import org.example.business.dto.postDTO.PostResponseDto;
+import org.example.business.idempotency.IdempotencyKeyConflictException;
+import org.example.business.idempotency.IdempotencyRegistry;
+import org.example.persistance.PostCounterRepository;
+import org.example.persistance.PostPreview;
 import org.example.persistance.PostRepository;
 import org.example.persistance.entity.PostEntity;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Optional;
+
 @Slf4j
 @Service
 @AllArgsConstructor
 public class PostServiceImpl implements PostService {
 
     private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdempotencyRegistry idempotencyRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final RequestCoalescer requestCoalescer;
+    private final PostCounterAggregator postCounterAggregator;
+    private final PostCounterRepository postCounterRepository;
 
     @Override
     @Transactional
     public PostResponseDto createPost(PostRequestDto requestDto) {
+        return insertPost(requestDto);
+    }
+
+    @Override
+    public PostResponseDto createPost(PostRequestDto requestDto, String idempotencyKey) {
+        String key = requestDto.getUserId() + ":" + idempotencyKey;
+
+        return idempotencyRegistry.execute(key,
+                () -> transactionTemplate.execute(status -> createOrReplay(requestDto, key, status)),
+                cached -> postRepository.existsById(cached.getId()));
+    }
+
+    private PostResponseDto createOrReplay(PostRequestDto requestDto, String key, TransactionStatus status) {
+        Optional<Long> existingPostId = idempotencyRegistry.findPostId(key);
+        if (existingPostId.isPresent()) {
+            log.info("Replaying post {} for idempotency key {}", existingPostId.get(), key);
+            return replay(key, existingPostId.get());
+        }
+
+        PostResponseDto response = insertPost(requestDto);
+        if (idempotencyRegistry.record(key, response.getId())) {
+            return response;
+        }
+
+        // Another instance committed the same key first; drop our post and replay theirs
+        log.info("Idempotency key {} recorded concurrently, replaying", key);
+        status.setRollbackOnly();
+        Long winningPostId = idempotencyRegistry.findPostId(key)
+                .orElseThrow(() -> new IllegalStateException("Idempotency key " + key + " lost but not found"));
+        return replay(key, winningPostId);
+    }
+
+    private PostResponseDto replay(String key, Long postId) {
+        PostResponseDto post = postRepository.findById(postId)
+                .map(this::mapToResponseDto)
+                .orElseThrow(() -> new IdempotencyKeyConflictException(
+                        "Post " + postId + " created for idempotency key " + key + " has been deleted"));
+        postCounterAggregator.applyCounts(List.of(post));
+        return post;
+    }
+
+    private PostResponseDto insertPost(PostRequestDto requestDto) {
         log.info("Creating post for user: {}", requestDto.getUserId());
 
         PostEntity post = PostEntity.builder()
@@ -33,15 +95,55 @@ public class PostServiceImpl implements PostService {
         post = postRepository.save(post);
         log.info("Post created successfully with ID: {}", post.getId());
 
-        return mapToResponseDto(post);
+        PostResponseDto response = mapToResponseDto(post);
+        eventPublisher.publishEvent(PostEventDto.builder()
+                .type(PostEventDto.CREATED)
+                .postId(post.getId())
+                .post(response)
+                .build());
+
+        return response;
     }
 
     @Override
     public Page<PostResponseDto> getAllPosts(Pageable pageable) {
         log.info("Fetching all posts - page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
-        return postRepository.findAll(pageable)
-                .map(this::mapToResponseDto);
+        return requestCoalescer.execute("feed", pageable, () -> withCounts(postRepository.findAll(pageable)
+                .map(this::mapToResponseDto)));
+    }
+
+    @Override
+    public Page<PostResponseDto> getPostPreviews(Pageable pageable) {
+        log.info("Fetching post previews - page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
+
+        return requestCoalescer.execute("preview-feed", pageable, () -> withCounts(postRepository.findAllPreviews(pageable)
+                .map(this::mapPreviewToResponseDto)));
+    }
+
+    @Override
+    public PostResponseDto getPost(Long postId) {
+        log.debug("Fetching post {}", postId);
+
+        return requestCoalescer.execute("post", postId, () -> {
+            PostResponseDto post = postRepository.findById(postId)
+                    .map(this::mapToResponseDto)
+                    .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
+            postCounterAggregator.applyCounts(List.of(post));
+            return post;
+        });
+    }
+
+    @Override
+    public List<PostResponseDto> getPostsSince(Long afterId, int limit) {
+        log.debug("Fetching posts after ID: {}, limit: {}", afterId, limit);
+
+        List<PostResponseDto> posts = postRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit))
+                .stream()
+                .map(this::mapToResponseDto)
+                .toList();
+        postCounterAggregator.applyCounts(posts);
+        return posts;
     }
 
     @Override
@@ -59,7 +161,32 @@ public class PostServiceImpl implements PostService {
         }
 
         postRepository.delete(post);
+        postCounterRepository.deleteById(postId);
+        postCounterAggregator.forget(postId);
         log.info("Post {} deleted successfully", postId);
+
+        eventPublisher.publishEvent(PostEventDto.builder()
+                .type(PostEventDto.DELETED)
+                .postId(postId)
+                .build());
+    }
+
+    @Override
+    public void recordView(Long postId) {
+        postCounterAggregator.incrementViews(postId);
+    }
+
+    @Override
+    public void likePost(Long postId) {
+        if (!postRepository.existsById(postId)) {
+            throw new RuntimeException("Post not found with id: " + postId);
+        }
+        postCounterAggregator.incrementLikes(postId);
+    }
+
+    private Page<PostResponseDto> withCounts(Page<PostResponseDto> page) {
+        postCounterAggregator.applyCounts(page.getContent());
+        return page;
     }
 
     private PostResponseDto mapToResponseDto(PostEntity post) {
@@ -71,4 +198,14 @@ public class PostServiceImpl implements PostService {
                 .createdAt(post.getCreatedAt())
                 .build();
     }
+
+    private PostResponseDto mapPreviewToResponseDto(PostPreview post) {
+        return PostResponseDto.builder()
+                .id(post.getId())
+                .userId(post.getUserId())
+                .title(post.getTitle())
+                .preview(post.getPreview())
+                .createdAt(post.getCreatedAt())
+                .build();
+    }
 }
\ No newline at end of file
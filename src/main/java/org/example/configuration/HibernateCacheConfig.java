@@ -0,0 +1,90 @@
+package org.example.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.example.persistance.CacheRegions;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Opt-in Hibernate second-level and query cache backed by Caffeine (JCache).
+ * Enabled with {@code post.cache.enabled=true}; otherwise Hibernate runs uncached.
+ * <p>
+ * Regions are local to each instance. Writes invalidate the writing instance's
+ * entries immediately (via the update-timestamps region), but other instances keep
+ * serving what they cached until it expires, so reads may be stale by up to the
+ * entity/query TTL. Both default to 30s for that reason.
+ */
+@Configuration
+@ConditionalOnProperty(name = "post.cache.enabled", havingValue = "true")
+public class HibernateCacheConfig {
+
+    @Value("${post.cache.entity.max-entries:10000}")
+    private long entityMaxEntries;
+
+    @Value("${post.cache.entity.ttl:30s}")
+    private Duration entityTtl;
+
+    @Value("${post.cache.query.max-entries:1000}")
+    private long queryMaxEntries;
+
+    @Value("${post.cache.query.ttl:30s}")
+    private Duration queryTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching
+                .getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        createRegion(cacheManager, CacheRegions.POST_ENTITY, boundedRegion(entityMaxEntries, entityTtl));
+        createRegion(cacheManager, CacheRegions.POST_FEED, boundedRegion(queryMaxEntries, queryTtl));
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                boundedRegion(queryMaxEntries, queryTtl));
+
+        // Timestamps must outlive every query result they guard, so this region never expires
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStoreByValue(false);
+        timestamps.setStatisticsEnabled(true);
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.use_query_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            // Boot binds hibernate.* meters (incl. per-region cache hits/misses) once statistics are on
+            properties.put("hibernate.generate_statistics", true);
+        };
+    }
+
+    private CaffeineConfiguration<Object, Object> boundedRegion(long maxEntries, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, CaffeineConfiguration<Object, Object> configuration) {
+        if (cacheManager.getCache(name) == null) {
+            cacheManager.createCache(name, configuration);
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package org.example.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.business.PostService;
+import org.example.business.coalescing.CoalescedQueryTimeoutException;
+import org.example.business.event.PostEventBroadcaster;
 import org.example.business.dto.postDTO.PostRequestDto;
 import org.example.business.dto.postDTO.PostResponseDto;
 import org.springframework.context.annotation.Profile;
@@ -12,8 +15,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -23,22 +29,72 @@ import java.util.List;
 @AllArgsConstructor
 @CrossOrigin(origins = "*")
 @Profile("cloud")
+@Validated
 public class CloudPostController {
     private final PostService postService;
+    private final PostEventBroadcaster postEventBroadcaster;
 
     @GetMapping
     public ResponseEntity<List<PostResponseDto>> getAllPosts(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "100") int size) {
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(defaultValue = "false") boolean preview) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<PostResponseDto> postsPage = postService.getAllPosts(pageable);
+        Page<PostResponseDto> postsPage = preview
+                ? postService.getPostPreviews(pageable)
+                : postService.getAllPosts(pageable);
         return ResponseEntity.ok(postsPage.getContent());
     }
 
+    @GetMapping("/{postId}")
+    public ResponseEntity<PostResponseDto> getPost(@PathVariable Long postId) {
+        try {
+            PostResponseDto response = postService.getPost(postId);
+            postService.recordView(postId);
+            return ResponseEntity.ok(response);
+        } catch (CoalescedQueryTimeoutException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    // Unauthenticated counter bump, see PostController#likePost
+    @PostMapping("/{postId}/likes")
+    public ResponseEntity<Void> likePost(@PathVariable Long postId) {
+        try {
+            postService.likePost(postId);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    // Can skip posts that commit out of id order, see PostService#getPostsSince
+    @GetMapping("/since")
+    public ResponseEntity<List<PostResponseDto>> getPostsSince(
+            @RequestParam long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(postService.getPostsSince(after, Math.min(Math.max(limit, 1), 500)));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPosts() {
+        SseEmitter emitter = postEventBroadcaster.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
     @PostMapping
-    public ResponseEntity<PostResponseDto> createPost(@Valid @RequestBody PostRequestDto requestDto) {
+    public ResponseEntity<PostResponseDto> createPost(
+            @RequestHeader(value = "Idempotency-Key", required = false) @Size(max = 255) String idempotencyKey,
+            @Valid @RequestBody PostRequestDto requestDto) {
         log.info("Cloud - Create post: {}", requestDto.getTitle());
-        PostResponseDto response = postService.createPost(requestDto);
+        PostResponseDto response = idempotencyKey == null || idempotencyKey.isBlank()
+                ? postService.createPost(requestDto)
+                : postService.createPost(requestDto, idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
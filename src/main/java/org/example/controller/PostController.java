@@ -3,9 +3,12 @@ package org.example.controller;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.business.PostService;
+import org.example.business.coalescing.CoalescedQueryTimeoutException;
+import org.example.business.event.PostEventBroadcaster;
 import org.example.business.dto.postDTO.PostRequestDto;
 import org.example.business.dto.postDTO.PostResponseDto;
 import org.springframework.context.annotation.Profile;
@@ -14,9 +17,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -29,16 +34,20 @@ import java.util.List;
 public class PostController {
 
     private final PostService postService;
+    private final PostEventBroadcaster postEventBroadcaster;
 
     @PostMapping
     public ResponseEntity<PostResponseDto> createPost(
             @RequestHeader(value = "X-User-Id") String userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) @Size(max = 255) String idempotencyKey,
             @Valid @RequestBody PostRequestDto requestDto) {
 
         log.info("Create post request from user: {}", userId);
 
         requestDto.setUserId(userId);
-        PostResponseDto response = postService.createPost(requestDto);
+        PostResponseDto response = idempotencyKey == null || idempotencyKey.isBlank()
+                ? postService.createPost(requestDto)
+                : postService.createPost(requestDto, idempotencyKey);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
@@ -46,16 +55,70 @@ public class PostController {
     @GetMapping
     public ResponseEntity<List<PostResponseDto>> getAllPosts(
             @RequestParam(defaultValue = "0") @Min(0) int page,  // <-- ADD @Min
-            @RequestParam(defaultValue = "100") @Min(1) @Max(500) int size  // <-- ADD @Min @Max
+            @RequestParam(defaultValue = "100") @Min(1) @Max(500) int size,  // <-- ADD @Min @Max
+            @RequestParam(defaultValue = "false") boolean preview
     ) {
-        log.info("Get all posts request - page: {}, size: {}", page, size);
+        log.info("Get all posts request - page: {}, size: {}, preview: {}", page, size, preview);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<PostResponseDto> postsPage = postService.getAllPosts(pageable);
+        Page<PostResponseDto> postsPage = preview
+                ? postService.getPostPreviews(pageable)
+                : postService.getAllPosts(pageable);
 
         return ResponseEntity.ok(postsPage.getContent());
     }
 
+    @GetMapping("/{postId}")
+    public ResponseEntity<PostResponseDto> getPost(@PathVariable Long postId) {
+        log.debug("Get post {} request", postId);
+
+        try {
+            PostResponseDto response = postService.getPost(postId);
+            postService.recordView(postId);
+            return ResponseEntity.ok(response);
+        } catch (CoalescedQueryTimeoutException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Error fetching post: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    // Unauthenticated counter bump: likes are not tracked per user, so repeated calls each count
+    @PostMapping("/{postId}/likes")
+    public ResponseEntity<Void> likePost(@PathVariable Long postId) {
+
+        log.debug("Like post {} request", postId);
+
+        try {
+            postService.likePost(postId);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            log.error("Error liking post: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    // Best-effort incremental poll: can skip posts that commit out of id order (see PostService#getPostsSince)
+    @GetMapping("/since")
+    public ResponseEntity<List<PostResponseDto>> getPostsSince(
+            @RequestParam @Min(0) long after,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(500) int limit
+    ) {
+        log.debug("Get posts since {} request - limit: {}", after, limit);
+
+        return ResponseEntity.ok(postService.getPostsSince(after, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPosts() {
+        SseEmitter emitter = postEventBroadcaster.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
     @DeleteMapping("/{postId}")
     public ResponseEntity<Void> deletePost(
             @RequestHeader(value = "X-User-Id") String userId,
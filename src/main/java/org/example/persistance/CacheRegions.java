@@ -0,0 +1,11 @@
+package org.example.persistance;
+
+// Hibernate second-level cache region names, configured in HibernateCacheConfig
+public final class CacheRegions {
+
+    public static final String POST_ENTITY = "posts";
+    public static final String POST_FEED = "posts-feed";
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.persistance;
+
+import jakarta.persistence.QueryHint;
+import org.example.persistance.entity.IdempotencyKeyEntity;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+
+    /**
+     * Inserts the key unless it already exists; returns 0 when another transaction holds it.
+     * Postgres waits for a concurrent inserter of the same key to finish before deciding.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO post_idempotency_keys (idempotency_key, post_id, expires_at) "
+            + "VALUES (:key, :postId, :expiresAt) ON CONFLICT (idempotency_key) DO NOTHING",
+            nativeQuery = true)
+    // Without declared spaces Hibernate would evict the whole second-level cache on native DML
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_idempotency_keys"))
+    int insertIfAbsent(@Param("key") String key,
+                       @Param("postId") Long postId,
+                       @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("delete from IdempotencyKeyEntity k where k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,9 @@
+package org.example.persistance;
+
+import org.example.persistance.entity.PostCounterEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PostCounterRepository extends JpaRepository<PostCounterEntity, Long>, PostCounterRepositoryCustom {
+}
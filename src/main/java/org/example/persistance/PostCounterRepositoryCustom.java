@@ -0,0 +1,12 @@
+package org.example.persistance;
+
+import java.util.Map;
+
+public interface PostCounterRepositoryCustom {
+
+    /**
+     * Adds the given {views, likes} deltas to post_counters in JDBC batches.
+     * Deltas for posts that no longer exist are dropped.
+     */
+    void upsertDeltas(Map<Long, long[]> deltas);
+}
@@ -0,0 +1,34 @@
+package org.example.persistance;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@AllArgsConstructor
+public class PostCounterRepositoryImpl implements PostCounterRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO post_counters (post_id, views, likes)
+            SELECT p.id, ?, ? FROM posts p WHERE p.id = ?
+            ON CONFLICT (post_id) DO UPDATE
+            SET views = post_counters.views + EXCLUDED.views,
+                likes = post_counters.likes + EXCLUDED.likes
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertDeltas(Map<Long, long[]> deltas) {
+        List<Map.Entry<Long, long[]>> rows = new ArrayList<>(deltas.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.getValue()[0]);
+            ps.setLong(2, row.getValue()[1]);
+            ps.setLong(3, row.getKey());
+        });
+    }
+}
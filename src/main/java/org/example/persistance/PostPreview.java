@@ -0,0 +1,17 @@
+package org.example.persistance;
+
+import java.time.LocalDateTime;
+
+// Closed projection for feed reads; never selects the full content column
+public interface PostPreview {
+
+    Long getId();
+
+    String getUserId();
+
+    String getTitle();
+
+    String getPreview();
+
+    LocalDateTime getCreatedAt();
+}
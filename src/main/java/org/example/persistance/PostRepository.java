@@ -1,7 +1,13 @@
 package org.example.persistance;
 
+import jakarta.persistence.QueryHint;
 import org.example.persistance.entity.PostEntity;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,7 +15,29 @@ import java.util.List;
 @Repository
 public interface PostRepository extends JpaRepository<PostEntity, Long> {
 
+    // Hints are no-ops unless the query cache is enabled (see HibernateCacheConfig)
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.POST_FEED)
+    })
+    Page<PostEntity> findAll(Pageable pageable);
+
+    // Rows written before the preview column existed fall back to a substring of content
+    @Query(value = "select p.id as id, p.userId as userId, p.title as title, "
+            + "coalesce(p.preview, substring(p.content, 1, " + PostEntity.PREVIEW_LENGTH + ")) as preview, "
+            + "p.createdAt as createdAt from PostEntity p",
+            countQuery = "select count(p) from PostEntity p")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.POST_FEED)
+    })
+    Page<PostPreview> findAllPreviews(Pageable pageable);
+
     List<PostEntity> findByUserId(String userId);
 
+    // Primary-key range scan used by incremental polling
+    List<PostEntity> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
     int deleteByUserId(String userId);
-}
\ No newline at end of file
+}
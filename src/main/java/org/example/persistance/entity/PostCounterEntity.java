@@ -0,0 +1,27 @@
+package org.example.persistance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Kept out of the posts table so counter upserts never touch (or invalidate) post rows
+@Entity
+@Table(name = "post_counters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCounterEntity {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "views", nullable = false)
+    private long views;
+
+    @Column(name = "likes", nullable = false)
+    private long likes;
+}
@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.example.persistance.CacheRegions;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,12 +15,16 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "posts")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.POST_ENTITY)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class PostEntity {
 
+    public static final int PREVIEW_LENGTH = 280;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -31,6 +38,10 @@ public class PostEntity {
     @Column(name = "content", nullable = false, columnDefinition = "TEXT")
     private String content;
 
+    // Precomputed so feed reads never have to load the TEXT column
+    @Column(name = "preview", length = PREVIEW_LENGTH)
+    private String preview;
+
     @Column(name = "category")
     private String category; // e.g., "Question", "Showcase", "Service Offer"
 
@@ -38,4 +49,20 @@ public class PostEntity {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @PrePersist
+    @PreUpdate
+    void updatePreview() {
+        preview = previewOf(content);
+    }
+
+    public static String previewOf(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        int end = PREVIEW_LENGTH;
+        if (Character.isHighSurrogate(content.charAt(end - 1))) {
+            end--;
+        }
+        return content.substring(0, end);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+-- Schema as it existed before Flyway; databases that already have it are baselined at this version
+CREATE TABLE IF NOT EXISTS posts (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    VARCHAR(255) NOT NULL,
+    title      VARCHAR(255) NOT NULL,
+    content    TEXT         NOT NULL,
+    category   VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL
+);
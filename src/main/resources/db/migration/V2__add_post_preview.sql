@@ -0,0 +1,6 @@
+-- Precomputed feed preview, see PostEntity.PREVIEW_LENGTH
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS preview VARCHAR(280);
+
+UPDATE posts
+SET preview = LEFT(content, 280)
+WHERE preview IS NULL;
@@ -0,0 +1,9 @@
+-- Idempotency-Key records for post creation, see IdempotencyRegistry
+CREATE TABLE IF NOT EXISTS post_idempotency_keys (
+    idempotency_key VARCHAR(512) PRIMARY KEY,
+    post_id         BIGINT       NOT NULL,
+    expires_at      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_post_idempotency_keys_expires_at
+    ON post_idempotency_keys (expires_at);
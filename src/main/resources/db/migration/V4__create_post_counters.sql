@@ -0,0 +1,7 @@
+-- Aggregated view and like counts, see PostCounterAggregator.
+-- post_id must stay the primary key: the flush upsert relies on ON CONFLICT (post_id).
+CREATE TABLE IF NOT EXISTS post_counters (
+    post_id BIGINT PRIMARY KEY,
+    views   BIGINT NOT NULL DEFAULT 0,
+    likes   BIGINT NOT NULL DEFAULT 0
+);
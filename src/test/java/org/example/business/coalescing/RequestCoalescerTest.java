@@ -0,0 +1,174 @@
+package org.example.business.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.example.support.ConcurrencyTestSupport.awaitQuietly;
+import static org.example.support.ConcurrencyTestSupport.awaitWaiting;
+
+@DisplayName("RequestCoalescer Unit Tests")
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Concurrent identical calls should share one execution")
+    void execute_WithConcurrentIdenticalCalls_ShouldRunLoaderOnce() throws Exception {
+        // Arrange
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, Duration.ofSeconds(5));
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> leaderResult = new AtomicReference<>();
+        AtomicReference<String> followerResult = new AtomicReference<>();
+
+        Thread leader = new Thread(() -> leaderResult.set(coalescer.execute("feed", 0, () -> {
+            loaderCalls.incrementAndGet();
+            leaderStarted.countDown();
+            awaitQuietly(release);
+            return "page-0";
+        })));
+        leader.start();
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread follower = new Thread(() -> followerResult.set(coalescer.execute("feed", 0, () -> {
+            loaderCalls.incrementAndGet();
+            return "duplicate";
+        })));
+        follower.start();
+        awaitWaiting(follower);
+
+        // Act
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        // Assert
+        assertThat(loaderCalls).hasValue(1);
+        assertThat(leaderResult).hasValue("page-0");
+        assertThat(followerResult).hasValue("page-0");
+        assertThat(count("feed", "executed")).isEqualTo(1.0);
+        assertThat(count("feed", "coalesced")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Calls with different keys should not be coalesced")
+    void execute_WithDifferentKeys_ShouldRunEachLoader() {
+        // Arrange
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, Duration.ofSeconds(5));
+
+        // Act
+        String first = coalescer.execute("post", 1L, () -> "one");
+        String second = coalescer.execute("post", 2L, () -> "two");
+
+        // Assert
+        assertThat(first).isEqualTo("one");
+        assertThat(second).isEqualTo("two");
+        assertThat(count("post", "executed")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Followers should receive the leader's exception")
+    void execute_WhenLeaderThrows_ShouldPropagateToFollower() throws Exception {
+        // Arrange
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, Duration.ofSeconds(5));
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Throwable> leaderError = new AtomicReference<>();
+        AtomicReference<Throwable> followerError = new AtomicReference<>();
+
+        Thread leader = new Thread(() -> {
+            try {
+                coalescer.execute("post", 7L, () -> {
+                    loaderCalls.incrementAndGet();
+                    leaderStarted.countDown();
+                    awaitQuietly(release);
+                    throw new RuntimeException("Post not found with id: 7");
+                });
+            } catch (RuntimeException e) {
+                leaderError.set(e);
+            }
+        });
+        leader.start();
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread follower = new Thread(() -> {
+            try {
+                coalescer.execute("post", 7L, () -> {
+                    loaderCalls.incrementAndGet();
+                    return "unexpected";
+                });
+            } catch (RuntimeException e) {
+                followerError.set(e);
+            }
+        });
+        follower.start();
+        awaitWaiting(follower);
+
+        // Act
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        // Assert
+        assertThat(loaderCalls).hasValue(1);
+        assertThat(leaderError.get()).hasMessage("Post not found with id: 7");
+        assertThat(followerError.get()).hasMessage("Post not found with id: 7");
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: A follower that times out should fail fast without querying")
+    void execute_WhenLeaderExceedsMaxWait_ShouldFailFollowerWithoutRunningLoader() throws Exception {
+        // Arrange
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, Duration.ofMillis(50));
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread leader = new Thread(() -> coalescer.execute("feed", 0, () -> {
+            loaderCalls.incrementAndGet();
+            leaderStarted.countDown();
+            awaitQuietly(release);
+            return "page-0";
+        }));
+        leader.start();
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act & Assert
+        try {
+            assertThatThrownBy(() -> coalescer.execute("feed", 0, () -> {
+                loaderCalls.incrementAndGet();
+                return "duplicate";
+            })).isInstanceOf(CoalescedQueryTimeoutException.class);
+        } finally {
+            release.countDown();
+            leader.join(5000);
+        }
+
+        assertThat(loaderCalls).hasValue(1);
+        assertThat(count("feed", "timeout")).isEqualTo(1.0);
+    }
+
+    private double count(String query, String result) {
+        return meterRegistry.get("posts.singleflight.requests")
+                .tag("query", query)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
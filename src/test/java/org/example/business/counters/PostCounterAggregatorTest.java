@@ -0,0 +1,346 @@
+package org.example.business.counters;
+
+import org.example.business.dto.postDTO.PostResponseDto;
+import org.example.persistance.PostCounterRepository;
+import org.example.persistance.entity.PostCounterEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.example.support.ConcurrencyTestSupport.awaitQuietly;
+import static org.example.support.ConcurrencyTestSupport.awaitWaiting;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostCounterAggregator Unit Tests")
+class PostCounterAggregatorTest {
+
+    @Mock
+    private PostCounterRepository postCounterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private PostCounterAggregator aggregator;
+    private List<Map<Long, long[]>> flushedDeltas;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new PostCounterAggregator(postCounterRepository, transactionManager, 4);
+        flushedDeltas = new ArrayList<>();
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should upsert aggregated deltas on flush")
+    void flush_WithBufferedIncrements_ShouldUpsertAggregatedDeltas() {
+        // Arrange
+        recordUpserts();
+        aggregator.incrementViews(1L);
+        aggregator.incrementViews(1L);
+        aggregator.incrementViews(1L);
+        aggregator.incrementLikes(1L);
+        aggregator.incrementViews(2L);
+
+        // Act
+        aggregator.flush();
+
+        // Assert
+        assertThat(flushedDeltas).hasSize(1);
+        assertThat(flushedDeltas.get(0).get(1L)).containsExactly(3L, 1L);
+        assertThat(flushedDeltas.get(0).get(2L)).containsExactly(1L, 0L);
+        verify(transactionManager).commit(transactionStatus);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should not open a transaction when nothing is buffered")
+    void flush_WithNothingBuffered_ShouldSkipDatabase() {
+        // Act
+        aggregator.flush();
+
+        // Assert
+        verify(transactionManager, never()).getTransaction(any());
+        verify(postCounterRepository, never()).upsertDeltas(any());
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should merge persisted and pending counts")
+    void applyCounts_ShouldAddPendingToPersistedCounts() {
+        // Arrange
+        when(postCounterRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(
+                PostCounterEntity.builder().postId(1L).views(10).likes(4).build()));
+        aggregator.incrementViews(1L);
+        aggregator.incrementViews(1L);
+        aggregator.incrementLikes(2L);
+
+        PostResponseDto first = PostResponseDto.builder().id(1L).build();
+        PostResponseDto second = PostResponseDto.builder().id(2L).build();
+
+        // Act
+        aggregator.applyCounts(List.of(first, second));
+
+        // Assert
+        assertThat(first.getViews()).isEqualTo(12);
+        assertThat(first.getLikes()).isEqualTo(4);
+        assertThat(second.getViews()).isZero();
+        assertThat(second.getLikes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should restore deltas when the upsert fails")
+    void flush_WhenUpsertFails_ShouldKeepDeltasForNextFlush() {
+        // Arrange
+        aggregator.incrementViews(1L);
+        aggregator.incrementLikes(1L);
+        doThrow(new RuntimeException("Database unavailable"))
+                .doAnswer(invocation -> {
+                    flushedDeltas.add(copy(invocation.getArgument(0)));
+                    return null;
+                })
+                .when(postCounterRepository).upsertDeltas(anyMap());
+
+        // Act
+        aggregator.flush();
+        aggregator.incrementViews(1L);
+        aggregator.flush();
+
+        // Assert
+        verify(transactionManager).rollback(transactionStatus);
+        assertThat(flushedDeltas).hasSize(1);
+        assertThat(flushedDeltas.get(0).get(1L)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should restore deltas when the commit fails")
+    void flush_WhenCommitFails_ShouldKeepDeltasBuffered() {
+        // Arrange
+        aggregator.incrementViews(5L);
+        doThrow(new RuntimeException("Commit failed")).when(transactionManager).commit(transactionStatus);
+
+        // Act
+        aggregator.flush();
+        PostResponseDto post = PostResponseDto.builder().id(5L).build();
+        aggregator.applyCounts(List.of(post));
+
+        // Assert
+        assertThat(post.getViews()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Increments racing flushes should never be lost")
+    void flush_WithConcurrentIncrements_ShouldPersistEveryIncrement() throws Exception {
+        // Arrange
+        AtomicLong persistedViews = new AtomicLong();
+        doAnswer(invocation -> {
+            Map<Long, long[]> deltas = invocation.getArgument(0);
+            deltas.values().forEach(delta -> persistedViews.addAndGet(delta[0]));
+            return null;
+        }).when(postCounterRepository).upsertDeltas(anyMap());
+
+        int threads = 8;
+        int incrementsPerThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < incrementsPerThread; i++) {
+                    aggregator.incrementViews((long) (i % 50));
+                }
+            });
+        }
+
+        // Act
+        start.countDown();
+        pool.shutdown();
+        while (!pool.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+            aggregator.flush();
+        }
+        aggregator.flush();
+
+        // Assert
+        assertThat(persistedViews.get()).isEqualTo((long) threads * incrementsPerThread);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should delete counters of a post forgotten during a flush")
+    void flush_WhenPostForgottenMidFlush_ShouldDeleteItsCounterRow() {
+        // Arrange
+        aggregator.incrementViews(9L);
+        doAnswer(invocation -> {
+            aggregator.forget(9L); // deletePost runs while the upsert is in progress
+            return null;
+        }).when(postCounterRepository).upsertDeltas(anyMap());
+
+        // Act
+        aggregator.flush();
+
+        // Assert
+        verify(postCounterRepository).deleteAllByIdInBatch(Set.of(9L));
+    }
+
+    @Test
+    @DisplayName("Edge Case: Forgotten posts should not be restored after a failed flush")
+    void flush_WhenForgottenPostFlushFails_ShouldDropItsDeltas() {
+        // Arrange
+        aggregator.incrementViews(9L);
+        doAnswer(invocation -> {
+            aggregator.forget(9L);
+            throw new RuntimeException("Database unavailable");
+        }).when(postCounterRepository).upsertDeltas(anyMap());
+
+        // Act
+        aggregator.flush();
+        PostResponseDto post = PostResponseDto.builder().id(9L).build();
+        aggregator.applyCounts(List.of(post));
+
+        // Assert
+        assertThat(post.getViews()).isZero();
+        verify(postCounterRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    @DisplayName("Edge Case: Forgetting a post should drop its pending increments")
+    void forget_ShouldDropPendingIncrements() {
+        // Arrange
+        recordUpserts();
+        aggregator.incrementViews(3L);
+        aggregator.incrementViews(4L);
+
+        // Act
+        aggregator.forget(3L);
+        aggregator.flush();
+
+        // Assert
+        assertThat(flushedDeltas.get(0)).containsOnlyKeys(4L);
+    }
+
+    @Test
+    @DisplayName("Edge Case: A read whose database query races a flush should not double count")
+    void applyCounts_WhenFlushCommitsDuringRead_ShouldRetryAndCountOnce() {
+        // Arrange
+        Map<Long, long[]> persisted = persistOnCommit();
+        aggregator.incrementViews(1L);
+        aggregator.incrementViews(1L);
+        aggregator.incrementViews(1L);
+        when(postCounterRepository.findAllById(any()))
+                .thenAnswer(invocation -> {
+                    List<PostCounterEntity> beforeFlush = rows(persisted);
+                    aggregator.flush(); // commits between this read and the in-memory read
+                    return beforeFlush;
+                })
+                .thenAnswer(invocation -> rows(persisted));
+        PostResponseDto post = PostResponseDto.builder().id(1L).build();
+
+        // Act
+        aggregator.applyCounts(List.of(post));
+
+        // Assert
+        assertThat(persisted.get(1L)).containsExactly(3L, 0L);
+        assertThat(post.getViews()).isEqualTo(3);
+        verify(postCounterRepository, times(2)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Edge Case: A read arriving mid-commit should wait for it while increments proceed")
+    void applyCounts_WhenFlushIsCommitting_ShouldWaitWithoutBlockingIncrements() throws Exception {
+        // Arrange
+        CountDownLatch commitStarted = new CountDownLatch(1);
+        CountDownLatch releaseCommit = new CountDownLatch(1);
+        Map<Long, long[]> persisted = persistOnCommit(() -> {
+            commitStarted.countDown();
+            awaitQuietly(releaseCommit);
+        });
+        when(postCounterRepository.findAllById(any())).thenAnswer(invocation -> rows(persisted));
+
+        aggregator.incrementViews(1L);
+        aggregator.incrementViews(1L);
+        Thread flusher = new Thread(aggregator::flush);
+        flusher.start();
+        assertThat(commitStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        PostResponseDto post = PostResponseDto.builder().id(1L).build();
+        Thread reader = new Thread(() -> aggregator.applyCounts(List.of(post)));
+
+        // Act
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> aggregator.incrementViews(1L));
+        reader.start();
+        awaitWaiting(reader);
+        releaseCommit.countDown();
+        flusher.join(5000);
+        reader.join(5000);
+
+        // Assert
+        assertThat(post.getViews()).isEqualTo(3);
+    }
+
+    private void recordUpserts() {
+        doAnswer(invocation -> {
+            flushedDeltas.add(copy(invocation.getArgument(0)));
+            return null;
+        }).when(postCounterRepository).upsertDeltas(anyMap());
+    }
+
+    // Models post_counters: deltas upserted inside the flush transaction become visible on commit
+    private Map<Long, long[]> persistOnCommit() {
+        return persistOnCommit(() -> {
+        });
+    }
+
+    private Map<Long, long[]> persistOnCommit(Runnable duringCommit) {
+        Map<Long, long[]> persisted = new ConcurrentHashMap<>();
+        Map<Long, long[]> staged = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            staged.putAll(copy(invocation.getArgument(0)));
+            return null;
+        }).when(postCounterRepository).upsertDeltas(anyMap());
+        doAnswer(invocation -> {
+            duringCommit.run();
+            persisted.putAll(staged);
+            staged.clear();
+            return null;
+        }).when(transactionManager).commit(transactionStatus);
+        return persisted;
+    }
+
+    private static List<PostCounterEntity> rows(Map<Long, long[]> persisted) {
+        return persisted.entrySet().stream()
+                .map(row -> PostCounterEntity.builder()
+                        .postId(row.getKey())
+                        .views(row.getValue()[0])
+                        .likes(row.getValue()[1])
+                        .build())
+                .toList();
+    }
+
+    private static Map<Long, long[]> copy(Map<Long, long[]> deltas) {
+        Map<Long, long[]> copy = new HashMap<>();
+        deltas.forEach((postId, delta) -> copy.put(postId, delta.clone()));
+        return copy;
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.business.event;
+
+import org.example.business.dto.postDTO.PostEventDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.example.support.ConcurrencyTestSupport.awaitQuietly;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@DisplayName("PostEventBroadcaster Unit Tests")
+class PostEventBroadcasterTest {
+
+    private static final int BUFFER_SIZE = 4;
+
+    private PostEventBroadcaster broadcaster;
+    private CountDownLatch releaseSenders;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new PostEventBroadcaster(BUFFER_SIZE, 2, 60_000, 1, Duration.ofSeconds(10));
+        releaseSenders = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseSenders.countDown();
+        broadcaster.shutdown();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should accept subscribers up to the limit")
+    void subscribe_BelowLimit_ShouldReturnEmitter() {
+        // Act & Assert
+        assertThat(broadcaster.subscribe()).isNotNull();
+        assertThat(broadcaster.subscribe()).isNotNull();
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should reject subscribers over the limit")
+    void subscribe_AtLimit_ShouldReturnNull() {
+        // Arrange
+        broadcaster.subscribe();
+        broadcaster.subscribe();
+
+        // Act & Assert
+        assertThat(broadcaster.subscribe()).isNull();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: A subscriber within its buffer should stay connected")
+    void onPostEvent_WithinBuffer_ShouldKeepSubscriber() {
+        // Arrange
+        PostEventBroadcaster stalled = stalledBroadcaster();
+        stalled.subscribe();
+
+        // Act
+        for (long i = 0; i < BUFFER_SIZE; i++) {
+            stalled.onPostEvent(created(i));
+        }
+
+        // Assert
+        assertThat(stalled.getSubscriberCount()).isEqualTo(1);
+        stalled.shutdown();
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: A slow subscriber should be disconnected once its buffer overflows")
+    void onPostEvent_WhenSubscriberBufferOverflows_ShouldDisconnectIt() {
+        // Arrange
+        PostEventBroadcaster stalled = stalledBroadcaster();
+        stalled.subscribe();
+
+        // Act
+        for (long i = 0; i <= BUFFER_SIZE; i++) {
+            stalled.onPostEvent(created(i));
+        }
+
+        // Assert
+        assertThat(stalled.getSubscriberCount()).isZero();
+        stalled.shutdown();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Publishing a burst larger than the buffer should not block the publisher")
+    void onPostEvent_WithBurstLargerThanBuffer_ShouldReturnPromptly() {
+        // Arrange
+        PostEventBroadcaster stalled = stalledBroadcaster();
+        stalled.subscribe();
+
+        // Act & Assert
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (long i = 0; i < 1_000; i++) {
+                stalled.onPostEvent(created(i));
+            }
+            stalled.heartbeat();
+        });
+        assertThat(stalled.getSubscriberCount()).isZero();
+        stalled.shutdown();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Shutdown should release every subscriber")
+    void shutdown_ShouldRemoveAllSubscribers() {
+        // Arrange
+        broadcaster.subscribe();
+        broadcaster.subscribe();
+
+        // Act
+        broadcaster.shutdown();
+
+        // Assert
+        assertThat(broadcaster.getSubscriberCount()).isZero();
+    }
+
+    // Its only sender thread is parked until teardown, so no subscriber buffer ever drains
+    private PostEventBroadcaster stalledBroadcaster() {
+        ExecutorService senders = Executors.newSingleThreadExecutor();
+        senders.execute(() -> awaitQuietly(releaseSenders));
+        return new PostEventBroadcaster(BUFFER_SIZE, 2, 60_000, Duration.ofSeconds(10), senders);
+    }
+
+    private static PostEventDto created(long postId) {
+        return PostEventDto.builder()
+                .type(PostEventDto.CREATED)
+                .postId(postId)
+                .build();
+    }
+}
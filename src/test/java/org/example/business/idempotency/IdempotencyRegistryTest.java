@@ -0,0 +1,209 @@
+package org.example.business.idempotency;
+
+import org.example.business.dto.postDTO.PostResponseDto;
+import org.example.persistance.IdempotencyKeyRepository;
+import org.example.persistance.entity.IdempotencyKeyEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.example.support.ConcurrencyTestSupport.awaitQuietly;
+import static org.example.support.ConcurrencyTestSupport.awaitWaiting;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyRegistry Unit Tests")
+class IdempotencyRegistryTest {
+
+    private static final Predicate<PostResponseDto> ALWAYS_VALID = response -> true;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private IdempotencyRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new IdempotencyRegistry(idempotencyKeyRepository, Duration.ofHours(24), 100);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Concurrent calls with the same key should produce one insert")
+    void execute_WithConcurrentSameKey_ShouldRunActionOnce() throws Exception {
+        // Arrange
+        AtomicInteger inserts = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<PostResponseDto> leaderResult = new AtomicReference<>();
+        AtomicReference<PostResponseDto> followerResult = new AtomicReference<>();
+
+        Thread leader = new Thread(() -> leaderResult.set(registry.execute("user123:key-1", () -> {
+            inserts.incrementAndGet();
+            leaderStarted.countDown();
+            awaitQuietly(release);
+            return post(1L);
+        }, ALWAYS_VALID)));
+        leader.start();
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread follower = new Thread(() -> followerResult.set(registry.execute("user123:key-1", () -> {
+            inserts.incrementAndGet();
+            return post(2L);
+        }, ALWAYS_VALID)));
+        follower.start();
+        awaitWaiting(follower);
+
+        // Act
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        // Assert
+        assertThat(inserts).hasValue(1);
+        assertThat(leaderResult.get().getId()).isEqualTo(1L);
+        assertThat(followerResult.get()).isSameAs(leaderResult.get());
+    }
+
+    @Test
+    @DisplayName("Happy Flow: A retried key should replay the cached response")
+    void execute_WithRepeatedKey_ShouldReplayCachedResponse() {
+        // Arrange
+        AtomicInteger inserts = new AtomicInteger();
+        PostResponseDto original = registry.execute("user123:key-1", () -> {
+            inserts.incrementAndGet();
+            return post(1L);
+        }, ALWAYS_VALID);
+
+        // Act
+        PostResponseDto retried = registry.execute("user123:key-1", () -> {
+            inserts.incrementAndGet();
+            return post(2L);
+        }, ALWAYS_VALID);
+
+        // Assert
+        assertThat(inserts).hasValue(1);
+        assertThat(retried).isSameAs(original);
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: A cached response that is no longer valid should not be replayed")
+    void execute_WhenCachedResponseInvalid_ShouldDropItAndRunAction() {
+        // Arrange
+        registry.execute("user123:key-1", () -> post(1L), ALWAYS_VALID);
+
+        // Act
+        PostResponseDto retried = registry.execute("user123:key-1", () -> post(2L), response -> false);
+        PostResponseDto again = registry.execute("user123:key-1", () -> post(3L), ALWAYS_VALID);
+
+        // Assert
+        assertThat(retried.getId()).isEqualTo(2L);
+        assertThat(again).isSameAs(retried);
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: A failed request should reach its joined follower and not be cached")
+    void execute_WhenLeaderFails_ShouldPropagateAndAllowRetry() throws Exception {
+        // Arrange
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Throwable> followerError = new AtomicReference<>();
+
+        Thread leader = new Thread(() -> {
+            try {
+                registry.execute("user123:key-1", () -> {
+                    leaderStarted.countDown();
+                    awaitQuietly(release);
+                    throw new RuntimeException("Database connection failed");
+                }, ALWAYS_VALID);
+            } catch (RuntimeException ignored) {
+                // asserted through the follower
+            }
+        });
+        leader.start();
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread follower = new Thread(() -> {
+            try {
+                registry.execute("user123:key-1", () -> post(2L), ALWAYS_VALID);
+            } catch (RuntimeException e) {
+                followerError.set(e);
+            }
+        });
+        follower.start();
+        awaitWaiting(follower);
+
+        // Act
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+        PostResponseDto retried = registry.execute("user123:key-1", () -> post(3L), ALWAYS_VALID);
+
+        // Assert
+        assertThat(followerError.get()).hasMessage("Database connection failed");
+        assertThat(retried.getId()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Unhappy Flow: Should report a key lost to another transaction")
+    void record_WhenKeyAlreadyInserted_ShouldReturnFalse() {
+        // Arrange
+        when(idempotencyKeyRepository.insertIfAbsent(eq("user123:key-1"), eq(1L), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        // Act & Assert
+        assertThat(registry.record("user123:key-1", 1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should report a newly recorded key")
+    void record_WhenKeyIsNew_ShouldReturnTrue() {
+        // Arrange
+        when(idempotencyKeyRepository.insertIfAbsent(eq("user123:key-1"), eq(1L), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        // Act & Assert
+        assertThat(registry.record("user123:key-1", 1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should ignore and delete an expired key")
+    void findPostId_WhenKeyExpired_ShouldDeleteAndReturnEmpty() {
+        // Arrange
+        IdempotencyKeyEntity expired = IdempotencyKeyEntity.builder()
+                .key("user123:key-1")
+                .postId(1L)
+                .expiresAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+        when(idempotencyKeyRepository.findById("user123:key-1")).thenReturn(Optional.of(expired));
+
+        // Act
+        Optional<Long> result = registry.findPostId("user123:key-1");
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(idempotencyKeyRepository).delete(expired);
+    }
+
+    private static PostResponseDto post(Long id) {
+        return PostResponseDto.builder()
+                .id(id)
+                .userId("user123")
+                .title("Test Post Title")
+                .content("Test post content")
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.configuration;
+
+import org.example.persistance.PostRepository;
+import org.example.persistance.entity.PostEntity;
+import org.hibernate.annotations.Cache;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.cache.CacheManager;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HibernateCacheConfig Context Tests")
+class HibernateCacheConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(HibernateCacheConfig.class);
+
+    @Test
+    @DisplayName("Happy Flow: Should create every region referenced by entities and query hints")
+    void cacheManager_WhenEnabled_ShouldCreateAllReferencedRegions() {
+        contextRunner.withPropertyValues("post.cache.enabled=true").run(context -> {
+            // Arrange
+            Set<String> expected = referencedRegions();
+            expected.add(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+            expected.add(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+
+            // Act
+            CacheManager cacheManager = context.getBean(CacheManager.class);
+            Set<String> created = new HashSet<>();
+            cacheManager.getCacheNames().forEach(created::add);
+
+            // Assert
+            assertThat(created).containsAll(expected);
+        });
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should fail fast on regions that were not created")
+    void hibernateCacheCustomizer_WhenEnabled_ShouldRequireExistingRegions() {
+        contextRunner.withPropertyValues("post.cache.enabled=true").run(context -> {
+            // Act
+            Map<String, Object> properties = new HashMap<>();
+            context.getBean(HibernatePropertiesCustomizer.class).customize(properties);
+
+            // Assert
+            assertThat(properties)
+                    .containsEntry("hibernate.cache.use_second_level_cache", true)
+                    .containsEntry("hibernate.cache.use_query_cache", true)
+                    .containsEntry("hibernate.javax.cache.missing_cache_strategy", "fail")
+                    .containsEntry("hibernate.javax.cache.cache_manager", context.getBean(CacheManager.class));
+        });
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should not configure any cache when disabled")
+    void config_WhenDisabled_ShouldNotRegisterBeans() {
+        contextRunner.run(context -> assertThat(context)
+                .doesNotHaveBean(CacheManager.class)
+                .doesNotHaveBean(HibernatePropertiesCustomizer.class));
+    }
+
+    // Read from the annotations themselves, so a region name added there without a matching cache fails here
+    private static Set<String> referencedRegions() {
+        Set<String> regions = new HashSet<>();
+        regions.add(PostEntity.class.getAnnotation(Cache.class).region());
+        for (Method method : PostRepository.class.getDeclaredMethods()) {
+            QueryHints hints = method.getAnnotation(QueryHints.class);
+            if (hints != null) {
+                Arrays.stream(hints.value())
+                        .filter(hint -> hint.name().equals(HibernateHints.HINT_CACHE_REGION))
+                        .forEach(hint -> regions.add(hint.value()));
+            }
+        }
+        return regions;
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.persistance.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PostEntity Unit Tests")
+class PostEntityTest {
+
+    private static final String EMOJI = "😊"; // one code point, two UTF-16 chars
+
+    @Test
+    @DisplayName("Happy Flow: Should keep short content unchanged")
+    void previewOf_WithShortContent_ShouldReturnContent() {
+        // Act & Assert
+        assertThat(PostEntity.previewOf("Short content")).isEqualTo("Short content");
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should truncate long content to the preview length")
+    void previewOf_WithLongContent_ShouldTruncate() {
+        // Arrange
+        String content = "a".repeat(PostEntity.PREVIEW_LENGTH + 50);
+
+        // Act
+        String preview = PostEntity.previewOf(content);
+
+        // Assert
+        assertThat(preview).hasSize(PostEntity.PREVIEW_LENGTH);
+        assertThat(content).startsWith(preview);
+    }
+
+    @Test
+    @DisplayName("Happy Flow: Should compute the preview before persisting")
+    void updatePreview_ShouldDeriveFromContent() {
+        // Arrange
+        PostEntity post = PostEntity.builder().content("b".repeat(400)).build();
+
+        // Act
+        post.updatePreview();
+
+        // Assert
+        assertThat(post.getPreview()).isEqualTo("b".repeat(PostEntity.PREVIEW_LENGTH));
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should return null for null content")
+    void previewOf_WithNullContent_ShouldReturnNull() {
+        // Act & Assert
+        assertThat(PostEntity.previewOf(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should keep content of exactly the preview length")
+    void previewOf_WithContentOfExactlyPreviewLength_ShouldReturnContent() {
+        // Arrange
+        String content = "a".repeat(PostEntity.PREVIEW_LENGTH);
+
+        // Act & Assert
+        assertThat(PostEntity.previewOf(content)).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should not split a surrogate pair at the boundary")
+    void previewOf_WithSurrogatePairAcrossBoundary_ShouldDropWholePair() {
+        // Arrange: the pair occupies chars 279 and 280, straddling the cut
+        String content = "a".repeat(PostEntity.PREVIEW_LENGTH - 1) + EMOJI + "tail";
+
+        // Act
+        String preview = PostEntity.previewOf(content);
+
+        // Assert
+        assertThat(preview).isEqualTo("a".repeat(PostEntity.PREVIEW_LENGTH - 1));
+        assertThat(Character.isHighSurrogate(preview.charAt(preview.length() - 1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Edge Case: Should keep a surrogate pair that ends exactly at the boundary")
+    void previewOf_WithSurrogatePairEndingAtBoundary_ShouldKeepPair() {
+        // Arrange
+        String content = "a".repeat(PostEntity.PREVIEW_LENGTH - 2) + EMOJI + "tail";
+
+        // Act
+        String preview = PostEntity.previewOf(content);
+
+        // Assert
+        assertThat(preview).hasSize(PostEntity.PREVIEW_LENGTH).endsWith(EMOJI);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.support;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.fail;
+
+// Thread coordination shared by the concurrency tests
+public final class ConcurrencyTestSupport {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private ConcurrencyTestSupport() {
+    }
+
+    /**
+     * Blocks until {@code thread} is parked (waiting on a lock, latch or future), failing after five seconds.
+     */
+    public static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+            if (System.nanoTime() > deadline) {
+                fail("Thread never started waiting");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Awaits {@code latch} for up to five seconds from code that cannot throw InterruptedException.
+     */
+    public static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}